@@ -0,0 +1,167 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Martin Krauskopf
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package mk.tsp;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.graph.ImmutableValueGraph;
+
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * <a href="https://en.wikipedia.org/wiki/Held%E2%80%93Karp_algorithm">Held–Karp algorithm</a> implementation of TSP
+ * problem solver using bit masks and flat arrays instead of Java collections.
+ *
+ * <p>
+ * Counterpart of the readable {@link HeldKarpTsp}. Subsets of visited vertices are encoded as {@code int} bit masks,
+ * parent vertices are iterated with {@link Integer#numberOfTrailingZeros(int)} and costs of all vertices in one subset
+ * are stored next to each other, so the minimisation over parents runs on sequential memory without any boxing.
+ * </p>
+ */
+public final class BitMaskHeldKarpTsp implements TspSolver {
+
+    /** Bit masks are {@code int}s and the cost table must be addressable by {@code int} index. */
+    static final int MAX_VERTICES = 27;
+
+    /** Helper field keeping number of graph vertices (nodes). */
+    private final int nOfVertices;
+
+    private final int startingVertex;
+
+    /** Number of vertices except the starting one. These are the ones encoded in bit masks. */
+    private final int m;
+
+    /** Maps bit position to the graph vertex. */
+    private final int[] vertices;
+
+    /** Adjacency matrix indexed by bit positions: {@code distances[from * m + to]}. */
+    private final int[] distances;
+
+    /** Costs from each bit position back to the starting vertex. */
+    private final int[] toStart;
+
+    /** Costs from the starting vertex to each bit position. */
+    private final int[] fromStart;
+
+    /**
+     * Memoization table. {@code minimumCosts[mask * m + v]} is the cost of the cheapest path which starts in {@code v},
+     * visits all vertices from the {@code mask} (which contains {@code v}) and ends in the starting vertex.
+     */
+    private int[] minimumCosts;
+
+    public BitMaskHeldKarpTsp(ImmutableValueGraph<Integer, Integer> graph, int startingVertex) {
+        this.nOfVertices = graph.nodes().size();
+        checkState(startingVertex < nOfVertices, "starting vertex exists");
+        checkState(nOfVertices <= MAX_VERTICES, "at most %s vertices supported", MAX_VERTICES);
+        this.startingVertex = startingVertex;
+        this.m = nOfVertices - 1;
+
+        vertices = new int[m];
+        for (int v = 0, bit = 0; v < nOfVertices; v++) {
+            if (v != startingVertex) {
+                vertices[bit++] = v;
+            }
+        }
+        distances = new int[m * m];
+        toStart = new int[m];
+        fromStart = new int[m];
+        for (int from = 0; from < m; from++) {
+            for (int to = 0; to < m; to++) {
+                if (from != to) {
+                    distances[from * m + to] = graph.edgeValue(vertices[from], vertices[to]).get();
+                }
+            }
+            toStart[from] = graph.edgeValue(vertices[from], startingVertex).get();
+            fromStart[from] = graph.edgeValue(startingVertex, vertices[from]).get();
+        }
+    }
+
+    @Override
+    public TspPath findBestPath() {
+        int fullMask = (1 << m) - 1;
+        minimumCosts = new int[(fullMask + 1) * m];
+        for (int v = 0; v < m; v++) { // direct path from v back to starting vertex
+            minimumCosts[(1 << v) * m + v] = toStart[v];
+        }
+
+        // Masks are processed in increasing order, so every sub-mask is computed before it is looked up.
+        for (int mask = 1; mask < fullMask; mask++) {
+            int row = mask * m;
+            for (int rest = ~mask & fullMask; rest != 0; rest &= rest - 1) {
+                int target = Integer.numberOfTrailingZeros(rest);
+                int targetRow = target * m;
+                int minCost = Integer.MAX_VALUE;
+                for (int parents = mask; parents != 0; parents &= parents - 1) {
+                    int parent = Integer.numberOfTrailingZeros(parents);
+                    int cost = distances[targetRow + parent] + minimumCosts[row + parent];
+                    if (cost < minCost) {
+                        minCost = cost;
+                    }
+                }
+                minimumCosts[(mask | (1 << target)) * m + target] = minCost;
+            }
+        }
+
+        int minCost = Integer.MAX_VALUE;
+        int fullRow = fullMask * m;
+        for (int v = 0; v < m; v++) {
+            minCost = Math.min(minCost, fromStart[v] + minimumCosts[fullRow + v]);
+        }
+
+        return TspPath.of(reconstructPath(fullMask, minCost), minCost);
+    }
+
+    /**
+     * Walks the memoization table from the starting vertex, each time picking the first vertex through which the
+     * remaining cost is reached. The table itself keeps no parents to save memory.
+     */
+    private ImmutableList<Integer> reconstructPath(int fullMask, int minCost) {
+        ImmutableList.Builder<Integer> path = ImmutableList.builder();
+        path.add(startingVertex);
+        int mask = fullMask;
+        int remainingCost = minCost;
+        int[] costsFromCurrent = fromStart;
+        int currentRow = 0;
+        while (mask != 0) {
+            int row = mask * m;
+            int next = -1;
+            for (int candidates = mask; candidates != 0; candidates &= candidates - 1) {
+                int candidate = Integer.numberOfTrailingZeros(candidates);
+                if (costsFromCurrent[currentRow + candidate] + minimumCosts[row + candidate] == remainingCost) {
+                    next = candidate;
+                    break;
+                }
+            }
+            checkState(next >= 0, "path reconstructed");
+            path.add(vertices[next]);
+            remainingCost = minimumCosts[row + next];
+            mask &= ~(1 << next);
+            costsFromCurrent = distances;
+            currentRow = next * m;
+        }
+        path.add(startingVertex);
+        return path.build();
+    }
+
+}
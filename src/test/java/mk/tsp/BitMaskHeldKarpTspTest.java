@@ -0,0 +1,53 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Martin Krauskopf
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package mk.tsp;
+
+import com.google.common.graph.ImmutableValueGraph;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class BitMaskHeldKarpTspTest extends TspTestBase {
+
+    @Override
+    protected TspSolver createTspSolver(ImmutableValueGraph<Integer, Integer> graph, int startingNode) {
+        return new BitMaskHeldKarpTsp(graph, startingNode);
+    }
+
+    @Test
+    public void sameCostAsHeldKarpTsp() {
+        for (int seed = 0; seed < 10; seed++) {
+            ImmutableValueGraph<Integer, Integer> graph = TspTests.generateRandomGraph(9, seed);
+            int expectedCost = new HeldKarpTsp(graph, 0).findBestPath().getCost();
+            assertEquals("cost for seed " + seed, expectedCost, createTspSolver(graph, 0).findBestPath().getCost());
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void tooManyVertices() {
+        createTspSolver(TspTests.generateRandomGraph(BitMaskHeldKarpTsp.MAX_VERTICES + 1, 42), 0);
+    }
+
+}